@@ -5,8 +5,11 @@ import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.zamecki.astralis.command.PlanetCommand;
+import org.zamecki.astralis.oxygen.OxygenManager;
 import org.zamecki.astralis.planet.PlanetRegistry;
 import org.zamecki.astralis.player.PlayerRespawnHandler;
+import org.zamecki.astralis.player.SpawnLocationPool;
+import org.zamecki.astralis.player.SpawnPointIndex;
 
 public class Astralis implements ModInitializer {
     public static final String MOD_ID = "astralis";
@@ -22,6 +25,15 @@ public class Astralis implements ModInitializer {
         // Initialize player respawn handler
         PlayerRespawnHandler.init();
 
+        // Initialize background pool of safe spawn locations
+        SpawnLocationPool.init();
+
+        // Initialize spatial index of player spawn points
+        SpawnPointIndex.init();
+
+        // Initialize oxygen handling for airless planets
+        OxygenManager.init();
+
         // Register commands
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> PlanetCommand.register(dispatcher));
 
@@ -3,6 +3,7 @@ package org.zamecki.astralis.command;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import net.minecraft.command.argument.BlockPosArgumentType;
 import net.minecraft.command.argument.IdentifierArgumentType;
 import net.minecraft.network.packet.s2c.play.PositionFlag;
 import net.minecraft.registry.RegistryKey;
@@ -11,19 +12,24 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.zamecki.astralis.player.PlayerPlanetData;
+import org.zamecki.astralis.player.SpawnLocationPool;
+import org.zamecki.astralis.player.SpawnPointIndex;
 import org.zamecki.astralis.planet.PlanetRegistry;
 
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 import static net.minecraft.server.command.CommandManager.argument;
 import static net.minecraft.server.command.CommandManager.literal;
 
 /**
- * Command handler for planet teleportation
- * Only provides teleportation functionality - respawn logic is handled elsewhere
+ * Command handler for planet teleportation and spawn point management
+ * Respawn logic itself is handled elsewhere
  */
 public class PlanetCommand {
     public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
@@ -41,9 +47,37 @@ public class PlanetCommand {
                     .executes(PlanetCommand::teleportToPlanet)
                 )
             )
+            .then(literal("spawns")
+                .then(argument("planet", IdentifierArgumentType.identifier())
+                    .suggests((context, builder) -> {
+                        // Only custom planets store indexed spawn points
+                        PlanetRegistry.getAllPlanets().keySet().forEach(id -> builder.suggest(id.toString()));
+                        return builder.buildFuture();
+                    })
+                    .then(literal("within")
+                        .then(argument("from", BlockPosArgumentType.blockPos())
+                            .then(argument("to", BlockPosArgumentType.blockPos())
+                                .executes(context -> spawnsWithin(context, SpawnAction.LIST))
+                                .then(literal("clear")
+                                    .executes(context -> spawnsWithin(context, SpawnAction.CLEAR))
+                                )
+                                .then(literal("revalidate")
+                                    .executes(context -> spawnsWithin(context, SpawnAction.REVALIDATE))
+                                )
+                            )
+                        )
+                    )
+                )
+            )
         );
     }
 
+    private enum SpawnAction {
+        LIST,
+        CLEAR,
+        REVALIDATE
+    }
+
     private static int teleportToPlanet(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         ServerCommandSource source = context.getSource();
         ServerPlayerEntity player = source.getPlayerOrThrow();
@@ -95,9 +129,9 @@ public class PlanetCommand {
                 source.sendFeedback(() -> Text.literal("Your spawn point was unsafe and has been corrected"), false);
             }
         } else {
-            // Use the planet's world spawn point with vanilla validation
-            BlockPos worldSpawn = targetWorld.getSpawnPos();
-            targetPos = player.getWorldSpawnPos(targetWorld, worldSpawn);
+            // Use a pooled location, or the planet's world spawn point with vanilla validation
+            BlockPos pooled = SpawnLocationPool.draw(planetId);
+            targetPos = pooled != null ? pooled : player.getWorldSpawnPos(targetWorld, targetWorld.getSpawnPos());
             PlayerPlanetData.setSpawnPoint(player.getUuid(), planetId, targetPos, yaw, pitch);
         }
 
@@ -110,4 +144,46 @@ public class PlanetCommand {
         source.sendFeedback(() -> Text.literal("Teleported to planet: " + planetId), true);
         return 1;
     }
+
+    private static int spawnsWithin(CommandContext<ServerCommandSource> context, SpawnAction action) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        Identifier planetId = IdentifierArgumentType.getIdentifier(context, "planet");
+
+        if (!PlanetRegistry.getAllPlanets().containsKey(planetId)) {
+            source.sendError(Text.literal("Planet not found: " + planetId));
+            return 0;
+        }
+
+        ServerWorld targetWorld = source.getServer().getWorld(RegistryKey.of(net.minecraft.registry.RegistryKeys.WORLD, planetId));
+        if (targetWorld == null) {
+            source.sendError(Text.literal("World not found for planet: " + planetId));
+            return 0;
+        }
+
+        BlockBox box = BlockBox.create(BlockPosArgumentType.getBlockPos(context, "from"), BlockPosArgumentType.getBlockPos(context, "to"));
+
+        switch (action) {
+            case CLEAR -> {
+                int cleared = SpawnPointIndex.clear(planetId, box);
+                source.sendFeedback(() -> Text.literal("Cleared " + cleared + " spawn points on planet: " + planetId), true);
+                return cleared;
+            }
+            case REVALIDATE -> {
+                int queued = SpawnPointIndex.revalidate(planetId, box);
+                source.sendFeedback(() -> Text.literal("Queued " + queued + " spawn points for revalidation on planet: " + planetId), true);
+                return queued;
+            }
+            default -> {
+                List<UUID> players = SpawnPointIndex.query(planetId, box);
+                source.sendFeedback(() -> Text.literal("Found " + players.size() + " spawn points on planet: " + planetId), false);
+                for (UUID playerId : players) {
+                    ServerPlayerEntity player = source.getServer().getPlayerManager().getPlayer(playerId);
+                    String name = player != null ? player.getName().getString() : playerId.toString();
+                    BlockPos pos = PlayerPlanetData.getPlayerData(playerId).getSpawnPoint(planetId).getPosition();
+                    source.sendFeedback(() -> Text.literal(" - " + name + " at " + pos.toShortString()), false);
+                }
+                return players.size();
+            }
+        }
+    }
 }
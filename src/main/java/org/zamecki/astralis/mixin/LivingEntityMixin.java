@@ -1,23 +1,23 @@
 package org.zamecki.astralis.mixin;
 
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.attribute.EntityAttributeModifier;
 import net.minecraft.entity.attribute.EntityAttributes;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.util.Identifier;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
-import org.zamecki.astralis.Astralis;
-import org.zamecki.astralis.planet.Planet;
+import org.zamecki.astralis.planet.GravityTable;
 import org.zamecki.astralis.planet.PlanetRegistry;
 
 @Mixin(LivingEntity.class)
 public class LivingEntityMixin {
     @Unique
-    private static final Identifier GRAVITY_MODIFIER_ID = Identifier.of(Astralis.MOD_ID, "planet_gravity");
+    private GravityTable astralis$gravityTable;
+
+    @Unique
+    private int astralis$gravityBand = Integer.MIN_VALUE;
 
     @Inject(method = "tick", at = @At("TAIL"))
     private void onTick(CallbackInfo ci) {
@@ -27,21 +27,17 @@ public class LivingEntityMixin {
         var gravityAttribute = entity.getAttributeInstance(EntityAttributes.GRAVITY);
         if (gravityAttribute == null) return;
 
-        Planet planet = PlanetRegistry.getPlanetByWorld(world.getRegistryKey());
-        gravityAttribute.removeModifier(GRAVITY_MODIFIER_ID);
-
-        if (planet == null) return;
+        // Only touch the modifier when the entity changes world, crosses a band or the tables were reloaded
+        GravityTable table = PlanetRegistry.getGravityTable(world);
+        int band = table != null ? table.getBand(entity.getBlockY()) : -1;
+        if (table == astralis$gravityTable && band == astralis$gravityBand) return;
 
-        float gravityFactor = planet.gravity();
-        double baseGravity = 0.08;
-        double modifierValue = (gravityFactor <= 0.0F) ? -baseGravity : (baseGravity * gravityFactor - baseGravity);
+        astralis$gravityTable = table;
+        astralis$gravityBand = band;
+        gravityAttribute.removeModifier(GravityTable.MODIFIER_ID);
 
-        EntityAttributeModifier gravityModifier = new EntityAttributeModifier(
-                GRAVITY_MODIFIER_ID,
-                modifierValue,
-                EntityAttributeModifier.Operation.ADD_VALUE
-        );
+        if (table == null) return;
 
-        gravityAttribute.addTemporaryModifier(gravityModifier);
+        gravityAttribute.addTemporaryModifier(table.getModifier(band));
     }
 }
@@ -0,0 +1,28 @@
+package org.zamecki.astralis.mixin;
+
+import net.minecraft.world.ChunkRegion;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.gen.StructureAccessor;
+import net.minecraft.world.gen.chunk.NoiseChunkGenerator;
+import net.minecraft.world.gen.noise.NoiseConfig;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.zamecki.astralis.planet.PlanetRegistry;
+import org.zamecki.astralis.worldgen.SurfaceTemplates;
+
+/**
+ * Mixin to stamp planet surface features once the vanilla surface has been built
+ * Runs on worldgen threads, so it only touches the chunk being generated
+ */
+@Mixin(NoiseChunkGenerator.class)
+public class NoiseChunkGeneratorMixin {
+    @Inject(method = "buildSurface(Lnet/minecraft/world/ChunkRegion;Lnet/minecraft/world/gen/StructureAccessor;Lnet/minecraft/world/gen/noise/NoiseConfig;Lnet/minecraft/world/chunk/Chunk;)V", at = @At("RETURN"))
+    private void onBuildSurface(ChunkRegion region, StructureAccessor structures, NoiseConfig noiseConfig, Chunk chunk, CallbackInfo ci) {
+        SurfaceTemplates templates = PlanetRegistry.getSurfaceTemplates(region.toServerWorld().getRegistryKey());
+        if (templates != null) {
+            templates.stamp(chunk, region.getSeed());
+        }
+    }
+}
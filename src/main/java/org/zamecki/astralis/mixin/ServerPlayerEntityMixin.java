@@ -12,6 +12,7 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 import org.zamecki.astralis.Astralis;
 import org.zamecki.astralis.player.PlayerPlanetData;
+import org.zamecki.astralis.player.SpawnLocationPool;
 import org.zamecki.astralis.planet.PlanetRegistry;
 
 /**
@@ -87,8 +88,11 @@ public class ServerPlayerEntityMixin {
         // No custom spawn point, use vanilla spawn finding algorithm for this custom planet
         ServerWorld targetWorld = getWorldForPlanet(player, currentPlanet);
         if (targetWorld != null) {
-            // Use vanilla's sophisticated spawn finding algorithm
-            BlockPos safeSpawn = player.getWorldSpawnPos(targetWorld, targetWorld.getSpawnPos());
+            // Draw a pre-validated location from the pool, falling back to vanilla's spawn finding algorithm
+            BlockPos safeSpawn = SpawnLocationPool.draw(currentPlanet);
+            if (safeSpawn == null) {
+                safeSpawn = player.getWorldSpawnPos(targetWorld, targetWorld.getSpawnPos());
+            }
             Vec3d spawnPos = new Vec3d(safeSpawn.getX() + 0.5, safeSpawn.getY(), safeSpawn.getZ() + 0.5);
             
             // Save this as the player's spawn point for future use
@@ -0,0 +1,25 @@
+package org.zamecki.astralis.mixin;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.zamecki.astralis.oxygen.OxygenManager;
+import org.zamecki.astralis.player.SpawnLocationPool;
+
+/**
+ * Mixin to observe block changes on server worlds
+ * Used to keep caches built from world state in sync with the blocks they were computed from
+ */
+@Mixin(ServerWorld.class)
+public class ServerWorldMixin {
+    @Inject(method = "onBlockChanged", at = @At("TAIL"))
+    private void onBlockChanged(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+        ServerWorld world = (ServerWorld)(Object)this;
+        SpawnLocationPool.onBlockChanged(world, pos);
+        OxygenManager.onBlockChanged(world, pos, newBlock);
+    }
+}
@@ -0,0 +1,98 @@
+package org.zamecki.astralis.oxygen;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.zamecki.astralis.Astralis;
+import org.zamecki.astralis.planet.Planet;
+import org.zamecki.astralis.planet.PlanetRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drains player oxygen on planets without a breathable atmosphere
+ * Players breathe normally inside sealed volumes, which are cached per world and
+ * updated from block changes so the per-tick check is a single map lookup
+ */
+public class OxygenManager {
+    private static final int SWEEP_INTERVAL = 200;
+    private static final long VOLUME_EXPIRY_TICKS = 600;
+    private static final float SUFFOCATION_DAMAGE = 2.0F;
+
+    private static final Map<RegistryKey<World>, VolumeCache> CACHES = new HashMap<>();
+    private static final Map<UUID, OxygenState> OXYGEN = new HashMap<>();
+
+    private record OxygenState(int oxygen, long tick) {}
+
+    public static void init() {
+        ServerTickEvents.END_WORLD_TICK.register(OxygenManager::tickWorld);
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> OXYGEN.remove(handler.getPlayer().getUuid()));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            CACHES.clear();
+            OXYGEN.clear();
+        });
+        Astralis.LOGGER.info("Oxygen manager initialized");
+    }
+
+    /**
+     * Checks whether the air at a position can be breathed
+     * True everywhere on planets with an atmosphere, otherwise only inside sealed volumes
+     */
+    public static boolean canBreathe(ServerWorld world, BlockPos pos) {
+        Planet planet = PlanetRegistry.getPlanetByWorld(world.getRegistryKey());
+        if (planet == null || planet.breathableAtmosphere()) return true;
+
+        return CACHES.computeIfAbsent(world.getRegistryKey(), key -> new VolumeCache()).isSealed(world, pos);
+    }
+
+    /**
+     * Forwards a block change to the world's volume cache, if it has one
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos, BlockState newState) {
+        VolumeCache cache = CACHES.get(world.getRegistryKey());
+        if (cache != null) {
+            cache.onBlockChanged(world, pos, newState);
+        }
+    }
+
+    private static void tickWorld(ServerWorld world) {
+        Planet planet = PlanetRegistry.getPlanetByWorld(world.getRegistryKey());
+        if (planet == null || planet.breathableAtmosphere()) return;
+
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            tickPlayer(world, player);
+        }
+
+        VolumeCache cache = CACHES.get(world.getRegistryKey());
+        if (cache != null && world.getTime() % SWEEP_INTERVAL == 0) {
+            cache.sweep(world.getTime(), VOLUME_EXPIRY_TICKS);
+        }
+    }
+
+    private static void tickPlayer(ServerWorld world, ServerPlayerEntity player) {
+        if (player.isCreative() || player.isSpectator() || canBreathe(world, BlockPos.ofFloored(player.getEyePos()))) {
+            OXYGEN.remove(player.getUuid());
+            return;
+        }
+
+        // Vanilla refills air every tick on land, so track oxygen separately and overwrite it
+        // A gap in ticks (respawn, dimension change) restarts from the player's current air
+        OxygenState state = OXYGEN.get(player.getUuid());
+        int oxygen = (state != null && state.tick() == world.getTime() - 1 ? state.oxygen() : player.getAir()) - 1;
+        if (oxygen <= -20) {
+            oxygen = 0;
+            player.damage(world, world.getDamageSources().drown(), SUFFOCATION_DAMAGE);
+        }
+
+        OXYGEN.put(player.getUuid(), new OxygenState(oxygen, world.getTime()));
+        player.setAir(oxygen);
+    }
+}
@@ -0,0 +1,22 @@
+package org.zamecki.astralis.oxygen;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+/**
+ * A connected region of air found by a bounded flood fill
+ * 
+ * Sealed volumes list every air cell and every solid cell enclosing them.
+ * Open volumes stop at the first leak, so their boundary also holds the unexplored
+ * frontier; any change there could seal them and simply drops the cached result.
+ * A leak to the sky also records the exposed column, since a roof placed anywhere
+ * above the cell seals it without touching the cells or boundary.
+ */
+class SealedVolume {
+    final LongOpenHashSet cells = new LongOpenHashSet();
+    final LongOpenHashSet boundary = new LongOpenHashSet();
+    final LongOpenHashSet skyColumns = new LongOpenHashSet();
+    boolean sealed = true;
+    boolean reachedUnloaded;
+    boolean dropped;
+    long lastUsed;
+}
@@ -0,0 +1,264 @@
+package org.zamecki.astralis.oxygen;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.Heightmap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cached air volumes for one world, indexed by the cells they contain and the cells enclosing them
+ * Block changes only touch the volumes that own or border the changed cell, or leaked to the sky through its column
+ *
+ * Air flows between two neighbouring cells unless either one's collision shape covers the face
+ * between them, so closed doors, trapdoors and slabs laid against a gap seal just like full blocks
+ */
+class VolumeCache {
+    private static final int MAX_VOLUME_CELLS = 4096;
+
+    private final Long2ObjectOpenHashMap<SealedVolume> byCell = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<List<SealedVolume>> byBoundary = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<List<SealedVolume>> bySkyColumn = new Long2ObjectOpenHashMap<>();
+    private final Set<SealedVolume> volumes = new HashSet<>();
+
+    /**
+     * Checks whether a cell lies in a sealed volume, running a flood fill only on a cache miss
+     */
+    boolean isSealed(ServerWorld world, BlockPos pos) {
+        SealedVolume volume = byCell.get(pos.asLong());
+        if (volume == null) {
+            if (world.isOutOfHeightLimit(pos) || isSolid(world, pos, world.getBlockState(pos))) return false;
+
+            volume = new SealedVolume();
+            volumes.add(volume);
+            fill(world, volume, pos);
+
+            // Nothing signals when a chunk loads, so a leak into an unloaded chunk is not cached
+            if (volume.reachedUnloaded) {
+                drop(volume);
+                return false;
+            }
+        }
+        volume.lastUsed = world.getTime();
+        return volume.sealed;
+    }
+
+    /**
+     * Updates the volumes owning or bordering a changed cell
+     */
+    void onBlockChanged(ServerWorld world, BlockPos pos, BlockState newState) {
+        long key = pos.asLong();
+
+        // Any change in a column a volume leaked to the sky through may have roofed it over
+        List<SealedVolume> exposed = bySkyColumn.get(columnKey(pos.getX(), pos.getZ()));
+        if (exposed != null) {
+            for (SealedVolume volume : List.copyOf(exposed)) {
+                drop(volume);
+            }
+        }
+
+        SealedVolume owner = byCell.get(key);
+        if (owner != null) {
+            if (!owner.sealed) {
+                drop(owner);
+            } else if (isSolid(world, pos, newState)) {
+                // Filling an air cell keeps the volume sealed, the cell just becomes part of its wall
+                owner.cells.remove(key);
+                byCell.remove(key);
+                addBoundary(owner, key);
+            } else {
+                // The cell's shape changed, for example a trapdoor opening, so re-explore its faces
+                fill(world, owner, pos);
+                if (!owner.sealed) {
+                    drop(owner);
+                }
+            }
+        }
+
+        List<SealedVolume> touching = byBoundary.get(key);
+        if (touching == null) return;
+
+        for (SealedVolume volume : List.copyOf(touching)) {
+            // The owner was already updated above when the changed cell belonged to it
+            if (volume.dropped || volume == owner) continue;
+
+            if (!volume.sealed) {
+                drop(volume);
+            } else {
+                // A wall may have opened, so continue the fill from the cells facing it
+                removeBoundary(volume, key);
+                expandFrom(world, volume, pos);
+                if (!volume.sealed) {
+                    drop(volume);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops volumes nobody has looked up recently
+     */
+    void sweep(long time, long expiry) {
+        for (SealedVolume volume : new ArrayList<>(volumes)) {
+            if (time - volume.lastUsed > expiry) {
+                drop(volume);
+            }
+        }
+    }
+
+    /**
+     * Re-runs the fill from every cell of the volume facing a changed boundary cell
+     */
+    private void expandFrom(ServerWorld world, SealedVolume volume, BlockPos pos) {
+        BlockPos.Mutable neighbour = new BlockPos.Mutable();
+        for (Direction direction : Direction.values()) {
+            if (!volume.sealed) return;
+            if (volume.cells.contains(neighbour.set(pos, direction).asLong())) {
+                fill(world, volume, neighbour.toImmutable());
+            }
+        }
+    }
+
+    /**
+     * Breadth-first fill from start, which must be enterable air; cells the volume owns are not revisited
+     * Stops at the first cell open to the sky, in an unloaded chunk or outside the world, or when
+     * the volume grows past the cell budget; in those cases the volume is marked as not sealed
+     */
+    private void fill(ServerWorld world, SealedVolume volume, BlockPos start) {
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        LongOpenHashSet queued = new LongOpenHashSet();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        BlockPos.Mutable neighbour = new BlockPos.Mutable();
+
+        queue.enqueue(start.asLong());
+        queued.add(start.asLong());
+
+        while (!queue.isEmpty()) {
+            long key = queue.dequeueLong();
+            pos.set(key);
+
+            // Cells connected to another cached volume belong to this one now
+            SealedVolume other = byCell.get(key);
+            if (other != null && other != volume) {
+                drop(other);
+            }
+            volume.cells.add(key);
+            byCell.put(key, volume);
+            removeBoundary(volume, key);
+
+            if (pos.getY() >= world.getTopY(Heightmap.Type.MOTION_BLOCKING, pos.getX(), pos.getZ())) {
+                addSkyColumn(volume, columnKey(pos.getX(), pos.getZ()));
+                leak(volume, queue);
+                return;
+            }
+            if (volume.cells.size() > MAX_VOLUME_CELLS) {
+                leak(volume, queue);
+                return;
+            }
+
+            VoxelShape shape = world.getBlockState(pos).getCollisionShape(world, pos);
+            for (Direction direction : Direction.values()) {
+                long neighbourKey = neighbour.set(pos, direction).asLong();
+                // This cell's own shape closes the face, which only a change to this cell can reopen
+                if (volume.cells.contains(neighbourKey) || queued.contains(neighbourKey)
+                        || Block.isFaceFullSquare(shape, direction)) {
+                    continue;
+                }
+
+                if (world.isOutOfHeightLimit(neighbour)) {
+                    addBoundary(volume, neighbourKey);
+                    leak(volume, queue);
+                    return;
+                }
+                if (!world.isChunkLoaded(neighbour.getX() >> 4, neighbour.getZ() >> 4)) {
+                    volume.reachedUnloaded = true;
+                    leak(volume, queue);
+                    return;
+                }
+
+                VoxelShape neighbourShape = world.getBlockState(neighbour).getCollisionShape(world, neighbour);
+                if (Block.isFaceFullSquare(neighbourShape, direction.getOpposite())) {
+                    addBoundary(volume, neighbourKey);
+                    continue;
+                }
+
+                queued.add(neighbourKey);
+                queue.enqueue(neighbourKey);
+            }
+        }
+    }
+
+    private void leak(SealedVolume volume, LongArrayFIFOQueue frontier) {
+        volume.sealed = false;
+        while (!frontier.isEmpty()) {
+            addBoundary(volume, frontier.dequeueLong());
+        }
+    }
+
+    private void addBoundary(SealedVolume volume, long key) {
+        if (volume.boundary.add(key)) {
+            byBoundary.computeIfAbsent(key, k -> new ArrayList<>(1)).add(volume);
+        }
+    }
+
+    private void addSkyColumn(SealedVolume volume, long column) {
+        if (volume.skyColumns.add(column)) {
+            bySkyColumn.computeIfAbsent(column, k -> new ArrayList<>(1)).add(volume);
+        }
+    }
+
+    private void removeBoundary(SealedVolume volume, long key) {
+        if (!volume.boundary.remove(key)) return;
+
+        List<SealedVolume> touching = byBoundary.get(key);
+        if (touching != null) {
+            touching.remove(volume);
+            if (touching.isEmpty()) {
+                byBoundary.remove(key);
+            }
+        }
+    }
+
+    private void drop(SealedVolume volume) {
+        volume.dropped = true;
+        volumes.remove(volume);
+        LongIterator cells = volume.cells.iterator();
+        while (cells.hasNext()) {
+            byCell.remove(cells.nextLong(), volume);
+        }
+        for (long key : volume.boundary.toLongArray()) {
+            removeBoundary(volume, key);
+        }
+        LongIterator columns = volume.skyColumns.iterator();
+        while (columns.hasNext()) {
+            long column = columns.nextLong();
+            List<SealedVolume> exposed = bySkyColumn.get(column);
+            if (exposed != null) {
+                exposed.remove(volume);
+                if (exposed.isEmpty()) {
+                    bySkyColumn.remove(column);
+                }
+            }
+        }
+        volume.skyColumns.clear();
+    }
+
+    private static long columnKey(int x, int z) {
+        return BlockPos.asLong(x, 0, z);
+    }
+
+    private static boolean isSolid(ServerWorld world, BlockPos pos, BlockState state) {
+        return state.isFullCube(world, pos);
+    }
+}
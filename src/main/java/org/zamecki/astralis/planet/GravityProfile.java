@@ -0,0 +1,34 @@
+package org.zamecki.astralis.planet;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Describes how a planet's gravity weakens with altitude
+ * 
+ * Below the reference height the planet's base gravity applies unchanged.
+ * Above it gravity falls off with the inverse square of the distance, where
+ * falloff_distance is how far up gravity has dropped to a quarter.
+ * Entities only pick up a new value when they cross a band boundary.
+ */
+public record GravityProfile(
+        int referenceHeight,
+        float falloffDistance,
+        int bandSize
+) {
+    public static final Codec<GravityProfile> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.INT.fieldOf("reference_height").forGetter(GravityProfile::referenceHeight),
+            Codec.floatRange(1.0F, Float.MAX_VALUE).fieldOf("falloff_distance").forGetter(GravityProfile::falloffDistance),
+            Codec.intRange(1, 4096).optionalFieldOf("band_size", 16).forGetter(GravityProfile::bandSize)
+    ).apply(instance, GravityProfile::new));
+
+    /**
+     * Gets the fraction of base gravity felt at the given height
+     */
+    public float factorAt(int y) {
+        if (y <= referenceHeight) return 1.0F;
+
+        float scale = falloffDistance / (falloffDistance + (y - referenceHeight));
+        return scale * scale;
+    }
+}
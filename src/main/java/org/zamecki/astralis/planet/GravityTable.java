@@ -0,0 +1,62 @@
+package org.zamecki.astralis.planet;
+
+import net.minecraft.entity.attribute.EntityAttributeModifier;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.MathHelper;
+import org.zamecki.astralis.Astralis;
+
+/**
+ * Precomputed gravity modifiers for one planet world, one per altitude band
+ * Built once per world after each data reload so ticking entities only do an index lookup
+ */
+public class GravityTable {
+    public static final Identifier MODIFIER_ID = Identifier.of(Astralis.MOD_ID, "planet_gravity");
+    private static final double BASE_GRAVITY = 0.08;
+
+    private final int bottomY;
+    private final int bandSize;
+    private final EntityAttributeModifier[] modifiers;
+
+    private GravityTable(int bottomY, int bandSize, EntityAttributeModifier[] modifiers) {
+        this.bottomY = bottomY;
+        this.bandSize = bandSize;
+        this.modifiers = modifiers;
+    }
+
+    /**
+     * Builds the table for a planet over the given world height range
+     * Planets without a gravity profile get a single band covering the whole world
+     */
+    public static GravityTable build(Planet planet, int bottomY, int topY) {
+        int height = topY - bottomY + 1;
+        int bandSize = planet.gravityProfile().map(GravityProfile::bandSize).orElse(height);
+        int bands = (height + bandSize - 1) / bandSize;
+
+        EntityAttributeModifier[] modifiers = new EntityAttributeModifier[bands];
+        for (int band = 0; band < bands; band++) {
+            // Sample each band at its midpoint so the step is centred on the smooth curve
+            int y = bottomY + band * bandSize + bandSize / 2;
+            modifiers[band] = createModifier(planet.gravityAt(y));
+        }
+        return new GravityTable(bottomY, bandSize, modifiers);
+    }
+
+    private static EntityAttributeModifier createModifier(float gravityFactor) {
+        double modifierValue = (gravityFactor <= 0.0F) ? -BASE_GRAVITY : (BASE_GRAVITY * gravityFactor - BASE_GRAVITY);
+        return new EntityAttributeModifier(MODIFIER_ID, modifierValue, EntityAttributeModifier.Operation.ADD_VALUE);
+    }
+
+    /**
+     * Gets the band index for a block height, clamped to the world's height range
+     */
+    public int getBand(int y) {
+        return MathHelper.clamp((y - bottomY) / bandSize, 0, modifiers.length - 1);
+    }
+
+    /**
+     * Gets the shared gravity modifier for a band
+     */
+    public EntityAttributeModifier getModifier(int band) {
+        return modifiers[band];
+    }
+}
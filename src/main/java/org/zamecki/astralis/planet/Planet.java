@@ -7,6 +7,9 @@ import net.minecraft.registry.RegistryKeys;
 import net.minecraft.util.Identifier;
 import net.minecraft.world.World;
 import net.minecraft.world.dimension.DimensionType;
+import org.zamecki.astralis.worldgen.SurfaceFeatures;
+
+import java.util.Optional;
 
 /**
  * Represents a planet with its properties and dimension configuration
@@ -19,13 +22,19 @@ public record Planet(
         float gravity,
         float distance,
         Identifier noiseSettings,
-        Identifier dimensionType
+        Identifier dimensionType,
+        Optional<GravityProfile> gravityProfile,
+        boolean breathableAtmosphere,
+        Optional<SurfaceFeatures> surfaceFeatures
 ) {
     public static final Codec<Planet> CODEC = RecordCodecBuilder.create(instance -> instance.group(
             Codec.FLOAT.fieldOf("gravity").forGetter(Planet::gravity),
             Codec.FLOAT.fieldOf("distance").forGetter(Planet::distance),
             Identifier.CODEC.fieldOf("noise_settings").forGetter(Planet::noiseSettings),
-            Identifier.CODEC.fieldOf("dimension_type").forGetter(Planet::dimensionType)
+            Identifier.CODEC.fieldOf("dimension_type").forGetter(Planet::dimensionType),
+            GravityProfile.CODEC.optionalFieldOf("gravity_profile").forGetter(Planet::gravityProfile),
+            Codec.BOOL.optionalFieldOf("breathable_atmosphere", true).forGetter(Planet::breathableAtmosphere),
+            SurfaceFeatures.CODEC.optionalFieldOf("surface_features").forGetter(Planet::surfaceFeatures)
     ).apply(instance, Planet::new));
 
     /**
@@ -42,6 +51,13 @@ public record Planet(
         return RegistryKey.of(RegistryKeys.DIMENSION_TYPE, dimensionType);
     }
 
+    /**
+     * Gets the gravity factor at a given height, applying the gravity profile if present
+     */
+    public float gravityAt(int y) {
+        return gravityProfile.map(profile -> gravity * profile.factorAt(y)).orElse(gravity);
+    }
+
     /**
      * Checks if this planet has zero gravity
      */
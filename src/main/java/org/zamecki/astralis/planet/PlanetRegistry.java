@@ -9,9 +9,11 @@ import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.resource.ResourceType;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.world.World;
 import org.zamecki.astralis.Astralis;
+import org.zamecki.astralis.worldgen.SurfaceTemplates;
 
 import java.io.InputStreamReader;
 import java.util.HashMap;
@@ -19,6 +21,9 @@ import java.util.Map;
 
 public class PlanetRegistry {
     private static final Map<Identifier, Planet> PLANETS = new HashMap<>();
+    private static final Map<RegistryKey<World>, GravityTable> GRAVITY_TABLES = new HashMap<>();
+    // Read from worldgen threads, so a reload builds a fresh map and publishes it in one swap
+    private static volatile Map<Identifier, SurfaceTemplates> surfaceTemplates = Map.of();
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     public static void init() {
@@ -40,6 +45,9 @@ public class PlanetRegistry {
 
     private static void loadPlanets(ResourceManager manager) {
         PLANETS.clear();
+        // Tables depend on planet data, so they are rebuilt per world on next use
+        GRAVITY_TABLES.clear();
+        Map<Identifier, SurfaceTemplates> templates = new HashMap<>();
         manager.findResources("planets", path -> path.getPath().endsWith(".json")).forEach((identifier, resource) -> {
             try (var reader = new InputStreamReader(resource.getInputStream())) {
                 JsonElement json = GSON.fromJson(reader, JsonElement.class);
@@ -51,11 +59,13 @@ public class PlanetRegistry {
                 Identifier planetId = Identifier.of(identifier.getNamespace(), planetName);
                 
                 PLANETS.put(planetId, planet);
+                planet.surfaceFeatures().ifPresent(features -> templates.put(planetId, SurfaceTemplates.build(features)));
                 Astralis.LOGGER.info("Loaded planet: {} with gravity {}", planetId, planet.gravity());
             } catch (Exception e) {
                 Astralis.LOGGER.error("Failed to load planet data from {}: {}", identifier, e.getMessage());
             }
         });
+        surfaceTemplates = templates;
 
         Astralis.LOGGER.info("Loaded {} planets from data files", PLANETS.size());
     }
@@ -99,4 +109,26 @@ public class PlanetRegistry {
         Planet planet = getPlanetByWorld(worldKey);
         return planet != null ? planet.gravity() : 1.0F;
     }
+
+    /**
+     * Gets the precomputed gravity table for a world, or null if it is not a custom planet
+     */
+    public static GravityTable getGravityTable(ServerWorld world) {
+        GravityTable table = GRAVITY_TABLES.get(world.getRegistryKey());
+        if (table != null) return table;
+
+        Planet planet = getPlanetByWorld(world.getRegistryKey());
+        if (planet == null) return null;
+
+        table = GravityTable.build(planet, world.getBottomY(), world.getTopYInclusive());
+        GRAVITY_TABLES.put(world.getRegistryKey(), table);
+        return table;
+    }
+
+    /**
+     * Gets the precomputed surface feature templates for a world, or null if it has none
+     */
+    public static SurfaceTemplates getSurfaceTemplates(RegistryKey<World> worldKey) {
+        return surfaceTemplates.get(worldKey.getValue());
+    }
 }
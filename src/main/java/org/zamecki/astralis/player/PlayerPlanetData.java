@@ -19,14 +19,31 @@ public class PlayerPlanetData {
     private static final Map<UUID, PlayerData> PLAYER_DATA = new HashMap<>();
     
     public static class PlayerData {
+        private final UUID playerId;
         private final Map<Identifier, SpawnPoint> planetSpawns = new HashMap<>();
         
-        public PlayerData() {
+        public PlayerData(UUID playerId) {
             // No designated planet concept - just store spawn points per planet
+            this.playerId = playerId;
         }
         
         public void setSpawnPoint(Identifier planet, BlockPos pos, float yaw, float pitch) {
-            planetSpawns.put(planet, new SpawnPoint(pos, yaw, pitch));
+            SpawnPoint previous = planetSpawns.put(planet, new SpawnPoint(pos, yaw, pitch));
+            if (previous != null) {
+                SpawnPointIndex.remove(playerId, planet, previous.getPosition());
+            }
+            SpawnPointIndex.add(playerId, planet, pos);
+        }
+        
+        public void removeSpawnPoint(Identifier planet) {
+            SpawnPoint previous = planetSpawns.remove(planet);
+            if (previous != null) {
+                SpawnPointIndex.remove(playerId, planet, previous.getPosition());
+            }
+        }
+        
+        private void unindex() {
+            planetSpawns.forEach((planet, spawnPoint) -> SpawnPointIndex.remove(playerId, planet, spawnPoint.getPosition()));
         }
         
         public SpawnPoint getSpawnPoint(Identifier planet) {
@@ -70,7 +87,7 @@ public class PlayerPlanetData {
      * Gets or creates player data
      */
     public static PlayerData getPlayerData(UUID playerId) {
-        return PLAYER_DATA.computeIfAbsent(playerId, id -> new PlayerData());
+        return PLAYER_DATA.computeIfAbsent(playerId, PlayerData::new);
     }
     
     /**
@@ -89,6 +106,17 @@ public class PlayerPlanetData {
         Astralis.LOGGER.info("Player {} spawn point for planet {} set to {}", playerId, planet, pos);
     }
     
+    /**
+     * Removes a player's spawn point for a specific planet
+     */
+    public static void removeSpawnPoint(UUID playerId, Identifier planet) {
+        PlayerData data = PLAYER_DATA.get(playerId);
+        if (data == null) return;
+        
+        data.removeSpawnPoint(planet);
+        Astralis.LOGGER.info("Player {} spawn point for planet {} removed", playerId, planet);
+    }
+    
     /**
      * Saves player data to NBT
      */
@@ -121,7 +149,9 @@ public class PlayerPlanetData {
     public static void loadPlayerData(UUID playerId, NbtCompound nbt) {
         if (nbt.isEmpty()) return;
         
-        PlayerData data = new PlayerData();
+        // Drop the replaced entries from the spatial index before the loaded ones are added
+        removePlayerData(playerId);
+        PlayerData data = new PlayerData(playerId);
         
         if (nbt.contains("spawns")) {
             nbt.getCompound("spawns").ifPresent(spawnsNbt -> {
@@ -149,6 +179,9 @@ public class PlayerPlanetData {
      * Removes player data (cleanup)
      */
     public static void removePlayerData(UUID playerId) {
-        PLAYER_DATA.remove(playerId);
+        PlayerData data = PLAYER_DATA.remove(playerId);
+        if (data != null) {
+            data.unindex();
+        }
     }
 }
@@ -48,6 +48,12 @@ public class PlayerRespawnHandler {
      * Similar to vanilla spawn radius behavior
      */
     public static BlockPos findSafeSpawnNearOrigin(ServerWorld world) {
+        // Prefer a location already validated by the background pool
+        BlockPos pooled = SpawnLocationPool.draw(world.getRegistryKey().getValue());
+        if (pooled != null) {
+            return pooled;
+        }
+
         // Try to find a safe location within a small radius around world spawn
         BlockPos worldSpawn = world.getSpawnPos();
         
@@ -0,0 +1,220 @@
+package org.zamecki.astralis.player;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.WorldChunk;
+import org.zamecki.astralis.Astralis;
+import org.zamecki.astralis.planet.PlanetRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a pool of pre-validated spawn locations per planet
+ * Candidates are sampled and spread out as chunks around the world spawn load, a few columns
+ * per chunk, so first arrivals and respawns can be handed a location in constant time
+ */
+public class SpawnLocationPool {
+    private static final int POOL_CAPACITY = 64;
+    private static final int SPAWN_RADIUS_CHUNKS = 8;
+    private static final int MIN_SPACING = 12;
+    private static final int[] SAMPLE_OFFSETS = {4, 11};
+
+    private static final Map<Identifier, Pool> POOLS = new HashMap<>();
+    private static final Set<Resample> PENDING_RESAMPLES = new LinkedHashSet<>();
+
+    private record Resample(ServerWorld world, long chunkKey) {}
+
+    public static void init() {
+        ServerChunkEvents.CHUNK_LOAD.register(SpawnLocationPool::onChunkLoad);
+        ServerTickEvents.END_SERVER_TICK.register(server -> processResamples());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            POOLS.clear();
+            PENDING_RESAMPLES.clear();
+        });
+        Astralis.LOGGER.info("Spawn location pool initialized");
+    }
+
+    /**
+     * Takes the least recently used spawn location for a planet, or null if none is ready
+     * The location stays in the pool so later arrivals rotate through the other entries
+     */
+    public static BlockPos draw(Identifier planetId) {
+        Pool pool = POOLS.get(planetId);
+        return pool != null ? pool.draw() : null;
+    }
+
+    /**
+     * Gets the number of ready spawn locations for a planet
+     */
+    public static int size(Identifier planetId) {
+        Pool pool = POOLS.get(planetId);
+        return pool != null ? pool.size() : 0;
+    }
+
+    /**
+     * Drops any pooled location standing in the changed column and resamples its chunk
+     * Called for every block change on the server, so non-planet worlds bail out immediately
+     */
+    public static void onBlockChanged(ServerWorld world, BlockPos pos) {
+        Pool pool = POOLS.get(world.getRegistryKey().getValue());
+        if (pool == null) return;
+
+        long chunkKey = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+        if (pool.invalidate(chunkKey, pos)) {
+            // Resample on the next tick so multi-block placements like doors have finished
+            PENDING_RESAMPLES.add(new Resample(world, chunkKey));
+        }
+    }
+
+    private static void processResamples() {
+        Iterator<Resample> iterator = PENDING_RESAMPLES.iterator();
+        while (iterator.hasNext()) {
+            Resample resample = iterator.next();
+            iterator.remove();
+
+            WorldChunk chunk = resample.world().getChunkManager().getWorldChunk(
+                    ChunkPos.getPackedX(resample.chunkKey()), ChunkPos.getPackedZ(resample.chunkKey()));
+            if (chunk != null) {
+                onChunkLoad(resample.world(), chunk);
+            }
+        }
+    }
+
+    private static void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        if (!PlanetRegistry.isPlanet(world.getRegistryKey())) return;
+
+        Identifier planetId = world.getRegistryKey().getValue();
+        Pool pool = POOLS.computeIfAbsent(planetId, id -> new Pool(new ChunkPos(world.getSpawnPos())));
+
+        ChunkPos chunkPos = chunk.getPos();
+        if (!pool.isInRange(chunkPos) || pool.isSettled(chunkPos.toLong())) return;
+
+        // Only a handful of columns are checked, cheap enough to do inline as the chunk loads
+        List<BlockPos> candidates = new ArrayList<>();
+        for (int localX : SAMPLE_OFFSETS) {
+            for (int localZ : SAMPLE_OFFSETS) {
+                BlockPos candidate = sampleColumn(chunk, localX, localZ);
+                if (candidate != null) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+        if (!candidates.isEmpty()) {
+            pool.offer(chunkPos.toLong(), candidates);
+        }
+    }
+
+    /**
+     * Checks the surface of a single column, returning the feet position if it is safe
+     */
+    private static BlockPos sampleColumn(WorldChunk chunk, int localX, int localZ) {
+        int y = chunk.getHeightmap(Heightmap.Type.MOTION_BLOCKING).get(localX, localZ);
+        if (y <= chunk.getBottomY() || y + 1 > chunk.getTopYInclusive()) return null;
+
+        BlockPos feet = chunk.getPos().getBlockPos(localX, y, localZ);
+        return isSafeStandingSpot(chunk, feet) ? feet : null;
+    }
+
+    /**
+     * Checks that a position has solid, dry ground below and two blocks of headroom
+     */
+    private static boolean isSafeStandingSpot(BlockView view, BlockPos feet) {
+        BlockPos ground = feet.down();
+        BlockState groundState = view.getBlockState(ground);
+        if (!groundState.getFluidState().isEmpty() || !groundState.isSideSolidFullSquare(view, ground, Direction.UP)) {
+            return false;
+        }
+        return view.getBlockState(feet).isAir() && view.getBlockState(feet.up()).isAir();
+    }
+
+    /**
+     * Spawn locations for one planet, at most one per chunk
+     * Only touched from the server thread
+     */
+    private static class Pool {
+        private final ChunkPos center;
+        private final LinkedHashMap<Long, BlockPos> entries = new LinkedHashMap<>();
+
+        Pool(ChunkPos center) {
+            this.center = center;
+        }
+
+        boolean isInRange(ChunkPos pos) {
+            return Math.abs(pos.x - center.x) <= SPAWN_RADIUS_CHUNKS && Math.abs(pos.z - center.z) <= SPAWN_RADIUS_CHUNKS;
+        }
+
+        boolean isSettled(long chunkKey) {
+            return entries.containsKey(chunkKey) || entries.size() >= POOL_CAPACITY;
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        BlockPos draw() {
+            Iterator<Map.Entry<Long, BlockPos>> iterator = entries.entrySet().iterator();
+            if (!iterator.hasNext()) return null;
+
+            Map.Entry<Long, BlockPos> eldest = iterator.next();
+            iterator.remove();
+            entries.put(eldest.getKey(), eldest.getValue());
+            return eldest.getValue();
+        }
+
+        /**
+         * Adds the first candidate that keeps its distance from neighbouring entries
+         */
+        void offer(long chunkKey, List<BlockPos> candidates) {
+            for (BlockPos candidate : candidates) {
+                if (isSpacedOut(chunkKey, candidate)) {
+                    entries.put(chunkKey, candidate);
+                    return;
+                }
+            }
+        }
+
+        boolean invalidate(long chunkKey, BlockPos changed) {
+            BlockPos entry = entries.get(chunkKey);
+            if (entry == null || entry.getX() != changed.getX() || entry.getZ() != changed.getZ()
+                    || changed.getY() < entry.getY() - 1) {
+                return false;
+            }
+            entries.remove(chunkKey);
+            return true;
+        }
+
+        private boolean isSpacedOut(long chunkKey, BlockPos candidate) {
+            int chunkX = ChunkPos.getPackedX(chunkKey);
+            int chunkZ = ChunkPos.getPackedZ(chunkKey);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    BlockPos neighbour = entries.get(ChunkPos.toLong(chunkX + dx, chunkZ + dz));
+                    if (neighbour == null) continue;
+
+                    int offsetX = neighbour.getX() - candidate.getX();
+                    int offsetZ = neighbour.getZ() - candidate.getZ();
+                    if (offsetX * offsetX + offsetZ * offsetZ < MIN_SPACING * MIN_SPACING) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
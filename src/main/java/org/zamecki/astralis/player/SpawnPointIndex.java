@@ -0,0 +1,257 @@
+package org.zamecki.astralis.player;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.BlockTags;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.chunk.ChunkStatus;
+import org.zamecki.astralis.Astralis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Spatial index of stored player spawn points, grouped by planet and chunk
+ * Lets region resets and admin commands find every spawn point inside an area without scanning all players
+ */
+public class SpawnPointIndex {
+    private static final int REVALIDATIONS_PER_TICK = 16;
+    private static final int CORRECTION_SEARCH_HEIGHT = 3;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private static final Map<Identifier, Map<Long, Set<UUID>>> INDEX = new HashMap<>();
+    // Keyed by planet and player so queueing the same area twice does not duplicate work
+    private static final Set<Revalidation> PENDING = new LinkedHashSet<>();
+    private static final Map<Revalidation, Integer> LOAD_ATTEMPTS = new HashMap<>();
+
+    private record Revalidation(Identifier planet, UUID playerId) {}
+
+    public static void init() {
+        ServerTickEvents.END_SERVER_TICK.register(SpawnPointIndex::processPending);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            PENDING.clear();
+            LOAD_ATTEMPTS.clear();
+        });
+    }
+
+    /**
+     * Records a spawn point, called by PlayerPlanetData whenever one is stored
+     */
+    static void add(UUID playerId, Identifier planet, BlockPos pos) {
+        INDEX.computeIfAbsent(planet, id -> new HashMap<>())
+                .computeIfAbsent(ChunkPos.toLong(pos), key -> new HashSet<>())
+                .add(playerId);
+    }
+
+    /**
+     * Forgets a spawn point, called by PlayerPlanetData whenever one is replaced or dropped
+     */
+    static void remove(UUID playerId, Identifier planet, BlockPos pos) {
+        Map<Long, Set<UUID>> chunks = INDEX.get(planet);
+        if (chunks == null) return;
+
+        long chunkKey = ChunkPos.toLong(pos);
+        Set<UUID> players = chunks.get(chunkKey);
+        if (players == null) return;
+
+        players.remove(playerId);
+        if (players.isEmpty()) {
+            chunks.remove(chunkKey);
+        }
+    }
+
+    /**
+     * Finds every player whose spawn point on the planet lies inside the box
+     */
+    public static List<UUID> query(Identifier planet, BlockBox box) {
+        Map<Long, Set<UUID>> chunks = INDEX.get(planet);
+        if (chunks == null) return List.of();
+
+        int minChunkX = box.getMinX() >> 4;
+        int minChunkZ = box.getMinZ() >> 4;
+        int maxChunkX = box.getMaxX() >> 4;
+        int maxChunkZ = box.getMaxZ() >> 4;
+
+        // Walk whichever is smaller: the chunks covered by the box or the chunks holding spawn points
+        List<UUID> candidates = new ArrayList<>();
+        long area = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        if (area <= chunks.size()) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    Set<UUID> players = chunks.get(ChunkPos.toLong(chunkX, chunkZ));
+                    if (players != null) {
+                        candidates.addAll(players);
+                    }
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Set<UUID>> entry : chunks.entrySet()) {
+                int chunkX = ChunkPos.getPackedX(entry.getKey());
+                int chunkZ = ChunkPos.getPackedZ(entry.getKey());
+                if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                    candidates.addAll(entry.getValue());
+                }
+            }
+        }
+
+        List<UUID> result = new ArrayList<>();
+        for (UUID playerId : candidates) {
+            PlayerPlanetData.SpawnPoint spawnPoint = PlayerPlanetData.getPlayerData(playerId).getSpawnPoint(planet);
+            if (spawnPoint != null && box.contains(spawnPoint.getPosition())) {
+                result.add(playerId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes every spawn point on the planet inside the box
+     * Affected players fall back to the planet's default spawn on their next respawn
+     */
+    public static int clear(Identifier planet, BlockBox box) {
+        List<UUID> affected = query(planet, box);
+        for (UUID playerId : affected) {
+            PlayerPlanetData.removeSpawnPoint(playerId, planet);
+        }
+        Astralis.LOGGER.info("Cleared {} spawn points on planet {} within {}", affected.size(), planet, box);
+        return affected.size();
+    }
+
+    /**
+     * Queues every spawn point on the planet inside the box for revalidation
+     * Intended to be called after a region reset so corrections do not wait for players to die
+     */
+    public static int revalidate(Identifier planet, BlockBox box) {
+        List<UUID> affected = query(planet, box);
+        for (UUID playerId : affected) {
+            PENDING.add(new Revalidation(planet, playerId));
+        }
+        return affected.size();
+    }
+
+    /**
+     * Works through queued revalidations a few at a time so large regions do not stall a single tick
+     * Spawn points in unloaded chunks leave the queue until an asynchronous load of their chunk completes
+     */
+    private static void processPending(MinecraftServer server) {
+        for (int i = 0; i < REVALIDATIONS_PER_TICK && !PENDING.isEmpty(); i++) {
+            // Take a fresh iterator each time, a completed chunk load may requeue work inline
+            Iterator<Revalidation> iterator = PENDING.iterator();
+            Revalidation revalidation = iterator.next();
+            iterator.remove();
+
+            PlayerPlanetData.SpawnPoint spawnPoint = PlayerPlanetData.getPlayerData(revalidation.playerId())
+                    .getSpawnPoint(revalidation.planet());
+            ServerWorld world = server.getWorld(RegistryKey.of(RegistryKeys.WORLD, revalidation.planet()));
+            if (spawnPoint == null || world == null) {
+                LOAD_ATTEMPTS.remove(revalidation);
+                continue;
+            }
+
+            BlockPos pos = spawnPoint.getPosition();
+            if (!world.isChunkLoaded(pos.getX() >> 4, pos.getZ() >> 4)) {
+                requestChunk(server, world, revalidation, pos);
+                continue;
+            }
+            LOAD_ATTEMPTS.remove(revalidation);
+            if (canStandAt(world, pos)) continue;
+
+            // Look a few blocks up first so a player whose spawn point was buried stays inside their base
+            BlockPos corrected = null;
+            for (int dy = 1; dy <= CORRECTION_SEARCH_HEIGHT && corrected == null; dy++) {
+                if (canStandAt(world, pos.up(dy))) {
+                    corrected = pos.up(dy);
+                }
+            }
+            if (corrected == null) {
+                corrected = SpawnLocationPool.draw(revalidation.planet());
+            }
+
+            if (corrected != null) {
+                PlayerPlanetData.setSpawnPoint(revalidation.playerId(), revalidation.planet(), corrected,
+                        spawnPoint.getYaw(), spawnPoint.getPitch());
+            } else {
+                PlayerPlanetData.removeSpawnPoint(revalidation.playerId(), revalidation.planet());
+            }
+        }
+    }
+
+    /**
+     * Loads the spawn point's chunk off the main thread and requeues the revalidation once it is ready
+     * The chunk manager holds the chunk with a short-lived loading ticket that expires on its own,
+     * so a chunk that unloads again before its turn is requested a few more times before giving up
+     */
+    private static void requestChunk(MinecraftServer server, ServerWorld world, Revalidation revalidation, BlockPos pos) {
+        int attempts = LOAD_ATTEMPTS.merge(revalidation, 1, Integer::sum);
+        if (attempts > MAX_LOAD_ATTEMPTS) {
+            LOAD_ATTEMPTS.remove(revalidation);
+            Astralis.LOGGER.warn("Gave up revalidating spawn point of player {} on planet {} at {}: chunk did not stay loaded",
+                    revalidation.playerId(), revalidation.planet(), pos);
+            return;
+        }
+
+        // Completion runs on the server executor, which stops running tasks once the server stops
+        world.getChunkManager().getChunkFutureSyncOnMainThread(pos.getX() >> 4, pos.getZ() >> 4, ChunkStatus.FULL, true)
+                .whenCompleteAsync((chunk, error) -> PENDING.add(revalidation), server);
+    }
+
+    /**
+     * Checks whether a player fits at a stored spawn point, judged by collision shapes rather than air
+     * Partial blocks at the feet such as slabs and carpets count as the floor the player stands on,
+     * while fluids and harmful blocks without collision such as fire or berry bushes still fail
+     */
+    private static boolean canStandAt(ServerWorld world, BlockPos feet) {
+        BlockState feetState = world.getBlockState(feet);
+        VoxelShape feetShape = feetState.getCollisionShape(world, feet);
+        BlockPos ground = feet;
+        double floor;
+        if (feetShape.isEmpty()) {
+            ground = feet.down();
+            if (world.getBlockState(ground).getCollisionShape(world, ground).isEmpty()) return false;
+            floor = feet.getY();
+        } else {
+            if (feetShape.getMax(Direction.Axis.Y) >= 1.0) return false;
+            floor = feet.getY() + feetShape.getMax(Direction.Axis.Y);
+        }
+
+        if (isHarmful(world.getBlockState(ground)) || isHarmful(feetState) || isHarmful(world.getBlockState(feet.up()))) {
+            return false;
+        }
+
+        Box body = new Box(feet.getX() + 0.2, floor, feet.getZ() + 0.2, feet.getX() + 0.8, floor + 1.8, feet.getZ() + 0.8);
+        return world.isBlockSpaceEmpty(null, body) && !world.containsFluid(body);
+    }
+
+    /**
+     * Checks for blocks that hurt or trap a player standing in or on them
+     */
+    private static boolean isHarmful(BlockState state) {
+        return state.isIn(BlockTags.FIRE)
+                || state.isIn(BlockTags.CAMPFIRES)
+                || state.isOf(Blocks.SWEET_BERRY_BUSH)
+                || state.isOf(Blocks.POWDER_SNOW)
+                || state.isOf(Blocks.WITHER_ROSE)
+                || state.isOf(Blocks.CACTUS)
+                || state.isOf(Blocks.MAGMA_BLOCK)
+                || state.isOf(Blocks.LAVA_CAULDRON);
+    }
+}
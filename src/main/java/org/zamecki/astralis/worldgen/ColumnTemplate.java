@@ -0,0 +1,91 @@
+package org.zamecki.astralis.worldgen;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * A precomputed surface shape described column by column around its centre
+ * Each column either carves blocks off the top of the terrain or raises it, relative to
+ * that column's own surface, so stamping never needs to look at neighbouring chunks
+ */
+final class ColumnTemplate {
+    final int extent;
+    final int[] offsetX;
+    final int[] offsetZ;
+    final int[] carve;
+    final int[] raise;
+
+    private ColumnTemplate(int extent, IntArrayList offsetX, IntArrayList offsetZ, IntArrayList carve, IntArrayList raise) {
+        this.extent = extent;
+        this.offsetX = offsetX.toIntArray();
+        this.offsetZ = offsetZ.toIntArray();
+        this.carve = carve.toIntArray();
+        this.raise = raise.toIntArray();
+    }
+
+    /**
+     * Builds a bowl carved into the surface with a raised rim around it
+     */
+    static ColumnTemplate crater(int radius, float depth) {
+        int extent = (int) Math.ceil(radius * 1.15);
+        int maxDepth = Math.max(1, Math.round(radius * depth));
+        Builder builder = new Builder(extent);
+
+        for (int dx = -extent; dx <= extent; dx++) {
+            for (int dz = -extent; dz <= extent; dz++) {
+                double distance = Math.sqrt(dx * dx + dz * dz) / radius;
+                if (distance < 0.85) {
+                    double bowl = distance / 0.85;
+                    builder.add(dx, dz, (int) Math.round(maxDepth * (1.0 - bowl * bowl)), 0);
+                } else if (distance < 1.15) {
+                    // Larger craters get a taller crest in the middle of the rim
+                    boolean crest = radius >= 8 && distance >= 0.92 && distance < 1.05;
+                    builder.add(dx, dz, 0, crest ? 2 : 1);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds a dome-shaped boulder sitting on the surface
+     */
+    static ColumnTemplate boulder(int size) {
+        Builder builder = new Builder(size);
+
+        for (int dx = -size; dx <= size; dx++) {
+            for (int dz = -size; dz <= size; dz++) {
+                double distance = Math.sqrt(dx * dx + dz * dz) / (size + 0.5);
+                if (distance < 1.0) {
+                    builder.add(dx, dz, 0, Math.max(1, (int) Math.round(size * Math.sqrt(1.0 - distance * distance))));
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static class Builder {
+        private final int extent;
+        private final IntArrayList offsetX = new IntArrayList();
+        private final IntArrayList offsetZ = new IntArrayList();
+        private final IntArrayList carve = new IntArrayList();
+        private final IntArrayList raise = new IntArrayList();
+
+        Builder(int extent) {
+            this.extent = extent;
+        }
+
+        void add(int dx, int dz, int carveDepth, int raiseHeight) {
+            // Columns left untouched are not stored, so stamping only visits real changes
+            if (carveDepth <= 0 && raiseHeight <= 0) return;
+
+            offsetX.add(dx);
+            offsetZ.add(dz);
+            carve.add(carveDepth);
+            raise.add(raiseHeight);
+        }
+
+        ColumnTemplate build() {
+            return new ColumnTemplate(extent, offsetX, offsetZ, carve, raise);
+        }
+    }
+}
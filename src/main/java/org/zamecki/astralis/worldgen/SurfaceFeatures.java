@@ -0,0 +1,61 @@
+package org.zamecki.astralis.worldgen;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.block.BlockState;
+
+import java.util.Optional;
+
+/**
+ * Data-driven surface detail for a planet, stamped into chunks after the surface is built
+ * 
+ * Each feature rolls once per chunk against its chance, using only the world seed and
+ * the chunk position, so regenerating or pregenerating a chunk always gives the same result.
+ */
+public record SurfaceFeatures(
+        Optional<CraterSettings> craters,
+        Optional<RockFieldSettings> rockFields
+) {
+    public static final Codec<SurfaceFeatures> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            CraterSettings.CODEC.optionalFieldOf("craters").forGetter(SurfaceFeatures::craters),
+            RockFieldSettings.CODEC.optionalFieldOf("rock_fields").forGetter(SurfaceFeatures::rockFields)
+    ).apply(instance, SurfaceFeatures::new));
+
+    /**
+     * Bowl-shaped craters with a raised rim, in a few precomputed sizes between the radius bounds
+     */
+    public record CraterSettings(
+            float chance,
+            int minRadius,
+            int maxRadius,
+            float depth,
+            int variants
+    ) {
+        public static final Codec<CraterSettings> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+                Codec.floatRange(0.0F, 1.0F).fieldOf("chance").forGetter(CraterSettings::chance),
+                Codec.intRange(2, 24).fieldOf("min_radius").forGetter(CraterSettings::minRadius),
+                Codec.intRange(2, 24).fieldOf("max_radius").forGetter(CraterSettings::maxRadius),
+                Codec.floatRange(0.0F, 1.0F).optionalFieldOf("depth", 0.3F).forGetter(CraterSettings::depth),
+                Codec.intRange(1, 16).optionalFieldOf("variants", 4).forGetter(CraterSettings::variants)
+        ).apply(instance, CraterSettings::new));
+    }
+
+    /**
+     * Clusters of dome-shaped boulders scattered around a point in the chunk
+     */
+    public record RockFieldSettings(
+            float chance,
+            BlockState block,
+            int count,
+            int maxSize,
+            int spread
+    ) {
+        public static final Codec<RockFieldSettings> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+                Codec.floatRange(0.0F, 1.0F).fieldOf("chance").forGetter(RockFieldSettings::chance),
+                BlockState.CODEC.fieldOf("block").forGetter(RockFieldSettings::block),
+                Codec.intRange(1, 32).optionalFieldOf("count", 6).forGetter(RockFieldSettings::count),
+                Codec.intRange(1, 4).optionalFieldOf("max_size", 2).forGetter(RockFieldSettings::maxSize),
+                Codec.intRange(0, 16).optionalFieldOf("spread", 8).forGetter(RockFieldSettings::spread)
+        ).apply(instance, RockFieldSettings::new));
+    }
+}
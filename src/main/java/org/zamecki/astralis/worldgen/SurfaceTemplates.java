@@ -0,0 +1,186 @@
+package org.zamecki.astralis.worldgen;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.random.CheckedRandom;
+import net.minecraft.util.math.random.ChunkRandom;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+
+import java.util.EnumSet;
+
+/**
+ * Precomputed crater and boulder templates for one planet, built once per data reload
+ * 
+ * Stamping writes straight into the chunk's sections without locking or block updates and
+ * refreshes the worldgen heightmaps once at the end, so a chunk costs a handful of array
+ * writes per affected column instead of a world access per block.
+ */
+public class SurfaceTemplates {
+    private static final int CRATER_SALT = 30_101;
+    private static final int ROCK_FIELD_SALT = 30_102;
+
+    private final float craterChance;
+    private final ColumnTemplate[] craters;
+    private final SurfaceFeatures.RockFieldSettings rockFields;
+    private final ColumnTemplate[] boulders;
+    private final int reachChunks;
+
+    private SurfaceTemplates(float craterChance, ColumnTemplate[] craters, SurfaceFeatures.RockFieldSettings rockFields, ColumnTemplate[] boulders) {
+        this.craterChance = craterChance;
+        this.craters = craters;
+        this.rockFields = rockFields;
+        this.boulders = boulders;
+
+        // Features can start in neighbouring chunks, so look as far out as the widest one reaches
+        int reach = 0;
+        for (ColumnTemplate crater : craters) {
+            reach = Math.max(reach, crater.extent);
+        }
+        if (rockFields != null) {
+            reach = Math.max(reach, rockFields.spread() + rockFields.maxSize());
+        }
+        this.reachChunks = (reach + 15) >> 4;
+    }
+
+    /**
+     * Precomputes the templates described by a planet's surface features
+     */
+    public static SurfaceTemplates build(SurfaceFeatures features) {
+        float craterChance = 0.0F;
+        ColumnTemplate[] craters = new ColumnTemplate[0];
+        if (features.craters().isPresent()) {
+            SurfaceFeatures.CraterSettings settings = features.craters().get();
+            int minRadius = Math.min(settings.minRadius(), settings.maxRadius());
+            int maxRadius = Math.max(settings.minRadius(), settings.maxRadius());
+            int variants = Math.min(settings.variants(), maxRadius - minRadius + 1);
+
+            craterChance = settings.chance();
+            craters = new ColumnTemplate[variants];
+            for (int i = 0; i < variants; i++) {
+                int radius = variants > 1 ? minRadius + (maxRadius - minRadius) * i / (variants - 1) : minRadius;
+                craters[i] = ColumnTemplate.crater(radius, settings.depth());
+            }
+        }
+
+        SurfaceFeatures.RockFieldSettings rockFields = features.rockFields().orElse(null);
+        ColumnTemplate[] boulders = new ColumnTemplate[rockFields != null ? rockFields.maxSize() : 0];
+        for (int size = 1; size <= boulders.length; size++) {
+            boulders[size - 1] = ColumnTemplate.boulder(size);
+        }
+
+        return new SurfaceTemplates(craterChance, craters, rockFields, boulders);
+    }
+
+    /**
+     * Stamps every feature overlapping this chunk, deterministic in the world seed and chunk position
+     */
+    public void stamp(Chunk chunk, long seed) {
+        ChunkPos chunkPos = chunk.getPos();
+        int[] tops = new int[256];
+        for (int localX = 0; localX < 16; localX++) {
+            for (int localZ = 0; localZ < 16; localZ++) {
+                tops[(localZ << 4) | localX] = chunk.sampleHeightmap(Heightmap.Type.WORLD_SURFACE_WG, localX, localZ);
+            }
+        }
+
+        // Origins are visited in a fixed order so overlapping features resolve the same way in every chunk
+        ChunkRandom random = new ChunkRandom(new CheckedRandom(0L));
+        boolean changed = false;
+        for (int originChunkX = chunkPos.x - reachChunks; originChunkX <= chunkPos.x + reachChunks; originChunkX++) {
+            for (int originChunkZ = chunkPos.z - reachChunks; originChunkZ <= chunkPos.z + reachChunks; originChunkZ++) {
+                long populationSeed = random.setPopulationSeed(seed, originChunkX << 4, originChunkZ << 4);
+
+                if (craters.length > 0) {
+                    random.setDecoratorSeed(populationSeed, 0, CRATER_SALT);
+                    if (random.nextFloat() < craterChance) {
+                        ColumnTemplate crater = craters[random.nextInt(craters.length)];
+                        int x = (originChunkX << 4) + random.nextInt(16);
+                        int z = (originChunkZ << 4) + random.nextInt(16);
+                        changed |= apply(chunk, tops, crater, x, z, null);
+                    }
+                }
+
+                if (rockFields != null) {
+                    random.setDecoratorSeed(populationSeed, 1, ROCK_FIELD_SALT);
+                    if (random.nextFloat() < rockFields.chance()) {
+                        int centerX = (originChunkX << 4) + random.nextInt(16);
+                        int centerZ = (originChunkZ << 4) + random.nextInt(16);
+                        for (int i = 0; i < rockFields.count(); i++) {
+                            ColumnTemplate boulder = boulders[random.nextInt(boulders.length)];
+                            int x = centerX + random.nextBetween(-rockFields.spread(), rockFields.spread());
+                            int z = centerZ + random.nextBetween(-rockFields.spread(), rockFields.spread());
+                            changed |= apply(chunk, tops, boulder, x, z, rockFields.block());
+                        }
+                    }
+                }
+            }
+        }
+
+        if (changed) {
+            Heightmap.populateHeightmaps(chunk, EnumSet.of(Heightmap.Type.WORLD_SURFACE_WG, Heightmap.Type.OCEAN_FLOOR_WG));
+        }
+    }
+
+    /**
+     * Applies the part of a template centred at the given block position that falls inside the chunk
+     * Raised columns use raiseState, or the column's own surface block when it is null
+     */
+    private static boolean apply(Chunk chunk, int[] tops, ColumnTemplate template, int centerX, int centerZ, BlockState raiseState) {
+        int startX = chunk.getPos().getStartX();
+        int startZ = chunk.getPos().getStartZ();
+        if (centerX + template.extent < startX || centerX - template.extent > startX + 15
+                || centerZ + template.extent < startZ || centerZ - template.extent > startZ + 15) {
+            return false;
+        }
+
+        boolean changed = false;
+        for (int i = 0; i < template.offsetX.length; i++) {
+            int localX = centerX + template.offsetX[i] - startX;
+            int localZ = centerZ + template.offsetZ[i] - startZ;
+            if (localX < 0 || localX > 15 || localZ < 0 || localZ > 15) continue;
+
+            changed |= stampColumn(chunk, tops, localX, localZ, template.carve[i], template.raise[i], raiseState);
+        }
+        return changed;
+    }
+
+    private static boolean stampColumn(Chunk chunk, int[] tops, int localX, int localZ, int carve, int raise, BlockState raiseState) {
+        int index = (localZ << 4) | localX;
+        int top = tops[index];
+        if (top <= chunk.getBottomY()) return false;
+
+        BlockState surface = getState(chunk, localX, top, localZ);
+        if (carve > 0) {
+            // Keep the surface material on the crater floor
+            int floor = Math.max(top - carve, chunk.getBottomY() + 1);
+            for (int y = top; y > floor; y--) {
+                setState(chunk, localX, y, localZ, Blocks.AIR.getDefaultState());
+            }
+            setState(chunk, localX, floor, localZ, surface);
+            top = floor;
+        }
+        if (raise > 0) {
+            BlockState state = raiseState != null ? raiseState : surface;
+            int ceiling = Math.min(top + raise, chunk.getTopYInclusive());
+            for (int y = top + 1; y <= ceiling; y++) {
+                setState(chunk, localX, y, localZ, state);
+            }
+            top = ceiling;
+        }
+
+        tops[index] = top;
+        return true;
+    }
+
+    private static BlockState getState(Chunk chunk, int localX, int y, int localZ) {
+        return chunk.getSection(chunk.getSectionIndex(y)).getBlockState(localX, y & 15, localZ);
+    }
+
+    private static void setState(Chunk chunk, int localX, int y, int localZ, BlockState state) {
+        ChunkSection section = chunk.getSection(chunk.getSectionIndex(y));
+        section.setBlockState(localX, y & 15, localZ, state, false);
+    }
+}